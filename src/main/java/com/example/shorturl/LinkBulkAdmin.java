@@ -0,0 +1,208 @@
+/**
+ * Массовое администрирование ссылок
+ */
+
+package org.example.shorturl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class LinkBulkAdmin {
+    private static final String DB_URL = "jdbc:sqlite:" + Paths.get(org.example.shorturl.UserManager.getUserDataFolder(), "app_data.db").toString();
+    private static final Logger logger = LoggerFactory.getLogger(LinkBulkAdmin.class);
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final long MILLIS_IN_HOUR = 3_600_000L;
+    private final int chunkSize;
+
+    public LinkBulkAdmin() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public LinkBulkAdmin(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Размер пачки должен быть положительным числом.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int setMaxClicks(Filter filter, int maxClicks, ProgressListener listener) throws SQLException { /// Задать лимит переходов
+        if (maxClicks <= 0) {
+            throw new IllegalArgumentException("Лимит переходов должен быть положительным числом.");
+        }
+        int affected = applyInChunks(filter, "UPDATE short_urls SET max_clicks = ?", List.of(maxClicks), listener);
+        logger.info("Массово обновлён лимит переходов у ссылок: " + affected);
+        return affected;
+    }
+
+    public int extendExpiration(Filter filter, int hours, ProgressListener listener) throws SQLException { /// Продлить время жизни
+        if (hours <= 0) {
+            throw new IllegalArgumentException("Время продления должно быть положительным числом.");
+        }
+        /// sqlite-jdbc хранит TIMESTAMP как миллисекунды, поэтому сдвиг считается прямо в SQL
+        int affected = applyInChunks(filter, "UPDATE short_urls SET expiration_time = expiration_time + ?", List.of(hours * MILLIS_IN_HOUR), listener);
+        logger.info("Массово продлено время жизни у ссылок: " + affected);
+        return affected;
+    }
+
+    public int setExpiration(Filter filter, LocalDateTime expirationTime, ProgressListener listener) throws SQLException { /// Задать время жизни
+        int affected = applyInChunks(filter, "UPDATE short_urls SET expiration_time = ?", List.of(Timestamp.valueOf(expirationTime)), listener);
+        logger.info("Массово задано время жизни у ссылок: " + affected);
+        return affected;
+    }
+
+    public int delete(Filter filter, ProgressListener listener) throws SQLException { /// Удалить ссылки
+        int affected = applyInChunks(filter, "DELETE FROM short_urls", Collections.emptyList(), listener);
+        logger.info("Массово удалено ссылок: " + affected);
+        return affected;
+    }
+
+    public int count(Filter filter) throws SQLException { /// Количество ссылок под фильтром
+        List<Object> params = new ArrayList<>();
+        String conditions = filter.toConditions(params);
+        try (Connection connection = DriverManager.getConnection(DB_URL);
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT COUNT(*) FROM short_urls WHERE " + conditions)) {
+            for (int i = 0; i < params.size(); i++) {
+                preparedStatement.setObject(i + 1, params.get(i));
+            }
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            logger.error("Ошибка при подсчёте ссылок: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /// Сначала выбираем id подходящих ссылок, затем применяем изменение пачками по chunkSize,
+    /// каждая пачка в своей короткой транзакции, чтобы переходы по ссылкам не ждали всю операцию.
+    /// Фильтр повторяется в каждой пачке, чтобы не задеть ссылки, переставшие ему соответствовать после выборки.
+    /// При ошибке откатывается только текущая пачка, уже закоммиченные остаются применёнными.
+    private int applyInChunks(Filter filter, String statementSql, List<Object> statementParams, ProgressListener listener) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(DB_URL)) {
+            int affected = 0;
+            List<Object> filterParams = new ArrayList<>();
+            String conditions = filter.toConditions(filterParams);
+            try {
+                List<Long> ids = selectIds(connection, conditions, filterParams);
+                int total = ids.size();
+                int processed = 0;
+                if (listener != null) {
+                    listener.onProgress(0, 0, total);
+                }
+                connection.setAutoCommit(false);
+                for (int from = 0; from < total; from += chunkSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, total));
+                    String sql = statementSql + " WHERE id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ") AND " + conditions;
+                    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                        int index = 1;
+                        for (Object param : statementParams) {
+                            preparedStatement.setObject(index++, param);
+                        }
+                        for (Long id : chunk) {
+                            preparedStatement.setLong(index++, id);
+                        }
+                        for (Object param : filterParams) {
+                            preparedStatement.setObject(index++, param);
+                        }
+                        affected += preparedStatement.executeUpdate();
+                    }
+                    connection.commit();
+                    processed += chunk.size();
+                    if (listener != null) {
+                        listener.onProgress(processed, affected, total);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                logger.error("Ошибка при массовом изменении ссылок: " + e.getMessage(), e);
+                throw e;
+            }
+            return affected;
+        }
+    }
+
+    private List<Long> selectIds(Connection connection, String conditions, List<Object> params) throws SQLException { /// Выборка ссылок по фильтру
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT id FROM short_urls WHERE " + conditions)) {
+            for (int i = 0; i < params.size(); i++) {
+                preparedStatement.setObject(i + 1, params.get(i));
+            }
+            ResultSet resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    public interface ProgressListener { /// Прогресс операции: обработано ссылок, изменено строк, всего ссылок
+        void onProgress(int processed, int affected, int total);
+    }
+
+    public static class Filter { /// Условия отбора ссылок, пустые поля не учитываются
+        private String owner;
+        private String codePrefix;
+        private List<String> codes;
+        private LocalDateTime expiresFrom;
+        private LocalDateTime expiresTo;
+
+        public Filter owner(String uuid) {
+            this.owner = uuid;
+            return this;
+        }
+
+        public Filter codePrefix(String prefix) {
+            this.codePrefix = prefix;
+            return this;
+        }
+
+        public Filter codes(List<String> shortUrls) {
+            this.codes = shortUrls;
+            return this;
+        }
+
+        public Filter expiresBetween(LocalDateTime from, LocalDateTime to) {
+            this.expiresFrom = from;
+            this.expiresTo = to;
+            return this;
+        }
+
+        private String toConditions(List<Object> params) { /// Условия через AND в скобках, параметры добавляются в params
+            List<String> conditions = new ArrayList<>();
+            if (owner != null) {
+                conditions.add("uuid = ?");
+                params.add(owner);
+            }
+            if (codePrefix != null && !codePrefix.isEmpty()) {
+                conditions.add("substr(short_url, 1, ?) = ?");
+                params.add(codePrefix.length());
+                params.add(codePrefix);
+            }
+            if (codes != null) {
+                if (codes.isEmpty()) {
+                    conditions.add("0");
+                } else {
+                    conditions.add("short_url IN (" + String.join(",", Collections.nCopies(codes.size(), "?")) + ")");
+                    params.addAll(codes);
+                }
+            }
+            if (expiresFrom != null) {
+                conditions.add("expiration_time >= ?");
+                params.add(Timestamp.valueOf(expiresFrom));
+            }
+            if (expiresTo != null) {
+                conditions.add("expiration_time <= ?");
+                params.add(Timestamp.valueOf(expiresTo));
+            }
+            return conditions.isEmpty() ? "1" : "(" + String.join(" AND ", conditions) + ")";
+        }
+    }
+}
@@ -32,6 +32,8 @@ public class LinkShortener {
     private static final Logger logger = LoggerFactory.getLogger(LinkShortener.class);
     private final Scanner scanner = new Scanner(System.in);
     private final org.example.shorturl.UserManager userManager;
+    private final org.example.shorturl.LinkBulkAdmin bulkAdmin = new org.example.shorturl.LinkBulkAdmin();
+    private final org.example.shorturl.LinkWriter linkWriter = new org.example.shorturl.LinkWriter();
     private static final Pattern URL_PATTERN = Pattern.compile("^(https?|ftp)://[-a-zA-Z0-9+&@#/%?=~_|!:,.;]*[-a-zA-Z0-9+&@#/%=~_|]");
 
     public LinkShortener(org.example.shorturl.UserManager userManager) {
@@ -82,6 +84,7 @@ public class LinkShortener {
             System.out.println("3. Изменить лимит переходов или время жизни ссылки");
             System.out.println("4. Сократить новую ссылку");
             System.out.println("5. Выйти");
+            System.out.println("6. Массово изменить ссылки");
             System.out.print("Выберите действие: ");
             String choice = scanner.nextLine();
             String userUUID = userManager.getCurrentUserUUID();
@@ -100,7 +103,11 @@ public class LinkShortener {
                     break;
                 case "5":
                     System.out.println("Выход из программы.");
+                    linkWriter.close();
                     return;
+                case "6":
+                    changeLinksInBulk(userUUID);
+                    break;
                 default:
                     System.out.println("Некорректный ввод. Пожалуйста, выберите действие из списка.");
             }
@@ -182,11 +189,6 @@ public class LinkShortener {
             logger.error("Ошибка при изменении лимита: " + e.getMessage(), e);
             System.out.println("Ошибка при изменении лимита переходов. Попробуйте позже.");
         }
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
     }
 
     private void updateExpirationTime(String shortUrl, String userUUID) { ///  Обновить время жизни
@@ -219,10 +221,70 @@ public class LinkShortener {
         } catch (NumberFormatException e) {
             System.out.println("Неверный формат числа. Введите целое число часов.");
         }
+    }
+
+    private void changeLinksInBulk(String userUUID) { /// 6. Массовое изменение ссылок пользователя
+        System.out.print("Введите начало коротких ссылок (оставьте пустым для всех ссылок): ");
+        String prefix = scanner.nextLine().trim();
+        org.example.shorturl.LinkBulkAdmin.Filter filter = new org.example.shorturl.LinkBulkAdmin.Filter().owner(userUUID).codePrefix(prefix);
+        System.out.println("Выберите что сделать:");
+        System.out.println("1. Задать лимит переходов");
+        System.out.println("2. Продлить время жизни");
+        System.out.println("3. Удалить ссылки");
+        String response = scanner.nextLine().trim();
+        org.example.shorturl.LinkBulkAdmin.ProgressListener listener = (processed, affected, total) -> {
+            if (total > 0) {
+                System.out.println("Обработано ссылок: " + processed + " из " + total);
+            }
+        };
         try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            int affected;
+            switch (response) {
+                case "1":
+                    System.out.println("Введите новый лимит переходов:");
+                    int maxClicks = Integer.parseInt(scanner.nextLine().trim());
+                    if (maxClicks <= 0) {
+                        System.out.println("Лимит переходов должен быть положительным числом.");
+                        return;
+                    }
+                    affected = bulkAdmin.setMaxClicks(filter, maxClicks, listener);
+                    break;
+                case "2":
+                    System.out.println("Введите на сколько часов продлить (целое число):");
+                    int hours = Integer.parseInt(scanner.nextLine().trim());
+                    if (hours <= 0) {
+                        System.out.println("Время жизни должно быть положительным числом.");
+                        return;
+                    }
+                    affected = bulkAdmin.extendExpiration(filter, hours, listener);
+                    break;
+                case "3":
+                    int matching = bulkAdmin.count(filter);
+                    if (matching == 0) {
+                        System.out.println("Нет ссылок для удаления.");
+                        return;
+                    }
+                    if (prefix.isEmpty()) {
+                        System.out.print("Начало ссылок не задано, будут удалены ВСЕ ваши ссылки (" + matching + " шт.). Удалить? (y/n): ");
+                    } else {
+                        System.out.print("Будет удалено ссылок: " + matching + ". Удалить? (y/n): ");
+                    }
+                    if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                        System.out.println("Удаление отменено.");
+                        return;
+                    }
+                    affected = bulkAdmin.delete(filter, listener);
+                    break;
+                default:
+                    System.out.println("Неверный выбор.");
+                    return;
+            }
+            System.out.println("Изменено ссылок: " + affected);
+        } catch (NumberFormatException e) {
+            System.out.println("Неверный формат числа");
+        } catch (SQLException e) {
+            logger.error("Ошибка при массовом изменении ссылок: " + e.getMessage(), e);
+            System.out.println("Ошибка при массовом изменении ссылок. Попробуйте позже.");
         }
     }
 
@@ -440,13 +502,16 @@ public class LinkShortener {
     }
 
     private void updateClicks(String shortUrl, int newClicksCount, String uuid) { /// Обновление лимитов переходов
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement preparedStatement = connection.prepareStatement(
-                     "UPDATE short_urls SET clicks = ? WHERE short_url = ? AND uuid = ?")) {
-            preparedStatement.setInt(1, newClicksCount);
-            preparedStatement.setString(2, shortUrl);
-            preparedStatement.setString(3, uuid);
-            preparedStatement.executeUpdate();
+        try {
+            org.example.shorturl.LinkWriter.await(linkWriter.submit(connection -> {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(
+                        "UPDATE short_urls SET clicks = ? WHERE short_url = ? AND uuid = ?")) {
+                    preparedStatement.setInt(1, newClicksCount);
+                    preparedStatement.setString(2, shortUrl);
+                    preparedStatement.setString(3, uuid);
+                    return preparedStatement.executeUpdate();
+                }
+            }));
         } catch (SQLException e) {
             logger.error("Ошибка при изменении количества кликов: " + e.getMessage(), e);
             System.out.println("Ошибка при обновлении количества переходов. Попробуйте позже.");
@@ -454,11 +519,14 @@ public class LinkShortener {
     }
 
     private void deleteLink(String shortUrl, String uuid) { /// Удаление ссылки
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM short_urls WHERE short_url = ? AND uuid = ?")) {
-            preparedStatement.setString(1, shortUrl);
-            preparedStatement.setString(2, uuid);
-            preparedStatement.executeUpdate();
+        try {
+            org.example.shorturl.LinkWriter.await(linkWriter.submit(connection -> {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM short_urls WHERE short_url = ? AND uuid = ?")) {
+                    preparedStatement.setString(1, shortUrl);
+                    preparedStatement.setString(2, uuid);
+                    return preparedStatement.executeUpdate();
+                }
+            }));
         } catch (SQLException e) {
             logger.error("Ошибка при удалении ссылки: " + e.getMessage(), e);
             System.out.println("Ошибка при удалении ссылки. Попробуйте позже.");
@@ -490,21 +558,30 @@ public class LinkShortener {
     }
 
     private void deleteExpiredLinks(List<String> expiredLinks, String userUUID) { /// Чистка БД
-        for (String shortUrl : expiredLinks) {
-            deleteLink(shortUrl, userUUID);
+        if (expiredLinks.isEmpty()) {
+            return;
+        }
+        try {
+            int deleted = bulkAdmin.delete(new org.example.shorturl.LinkBulkAdmin.Filter().owner(userUUID).codes(expiredLinks), null);
+            logger.info("Удалено просроченных или исчерпавших лимит ссылок: " + deleted);
+        } catch (SQLException e) {
+            logger.error("Ошибка при удалении просроченных ссылок: " + e.getMessage(), e);
+            System.out.println("Ошибка при удалении просроченных ссылок. Попробуйте позже.");
         }
-        logger.info("Удалено просроченных или исчерпавших лимит ссылок: " + expiredLinks.size());
     }
 
     private void saveShortUrl(String userUUID, String shortUrl, String originalUrl, LocalDateTime expirationTime, int maxClicks) { /// Сохранение короткой ссылки
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO short_urls (uuid, short_url, original_url, expiration_time, max_clicks) VALUES (?, ?, ?, ?, ?)")) {
-            preparedStatement.setString(1, userUUID);
-            preparedStatement.setString(2, shortUrl);
-            preparedStatement.setString(3, originalUrl);
-            preparedStatement.setTimestamp(4, Timestamp.valueOf(expirationTime));
-            preparedStatement.setInt(5, maxClicks);
-            preparedStatement.executeUpdate();
+        try {
+            org.example.shorturl.LinkWriter.await(linkWriter.submit(connection -> {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO short_urls (uuid, short_url, original_url, expiration_time, max_clicks) VALUES (?, ?, ?, ?, ?)")) {
+                    preparedStatement.setString(1, userUUID);
+                    preparedStatement.setString(2, shortUrl);
+                    preparedStatement.setString(3, originalUrl);
+                    preparedStatement.setTimestamp(4, Timestamp.valueOf(expirationTime));
+                    preparedStatement.setInt(5, maxClicks);
+                    return preparedStatement.executeUpdate();
+                }
+            }));
             logger.info("Ссылка успешно сокращена и сохранена.");
         } catch (SQLException e) {
             logger.error("Ошибка при сохранении короткой ссылки: " + e.getMessage(), e);
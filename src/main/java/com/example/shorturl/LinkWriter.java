@@ -0,0 +1,268 @@
+/**
+ * Групповая запись ссылок в БД
+ */
+
+package org.example.shorturl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LinkWriter implements AutoCloseable {
+    private static final String DB_URL = "jdbc:sqlite:" + Paths.get(org.example.shorturl.UserManager.getUserDataFolder(), "app_data.db").toString();
+    private static final Logger logger = LoggerFactory.getLogger(LinkWriter.class);
+    private static final int DEFAULT_MAX_BATCH_SIZE = Integer.getInteger("shorturl.writer.batchSize", 256);
+    private static final long DEFAULT_MAX_DELAY_MILLIS = Long.getLong("shorturl.writer.delayMillis", 0); /// Пачку и так копят записи, пришедшие во время коммита
+    private static final long METRICS_LOG_EVERY_COMMITS = Long.getLong("shorturl.writer.metricsEvery", 1000);
+    private static final long RECONNECT_MIN_DELAY_MILLIS = 100;
+    private static final long RECONNECT_MAX_DELAY_MILLIS = 5000;
+    private final String dbUrl;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final AtomicLong committedWrites = new AtomicLong();
+    private volatile int lastBatchSize;
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final Object lifecycleLock = new Object(); /// Проверка running и постановка в очередь атомарны относительно остановки
+    private volatile boolean running = true;
+    private boolean backlogReported; /// Только поток писателя: о переполнении очереди сообщаем один раз до её разгрузки
+    private long commitsAtLastMetricsLog; /// Только поток писателя
+
+    public LinkWriter() {
+        this(DB_URL, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    public LinkWriter(String dbUrl, int maxBatchSize, long maxDelayMillis) {
+        if (maxBatchSize <= 0 || maxDelayMillis < 0) {
+            throw new IllegalArgumentException("Размер пачки должен быть положительным, а задержка неотрицательной.");
+        }
+        this.dbUrl = dbUrl;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.writerThread = new Thread(this::run, "link-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /// Поставить запись в очередь. Future завершается количеством изменённых строк после коммита пачки
+    /// или исключением, если операция или коммит не удались.
+    public CompletableFuture<Integer> submit(WriteOperation operation) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        synchronized (lifecycleLock) {
+            if (!running) {
+                future.completeExceptionally(new IllegalStateException("Запись в БД остановлена."));
+                return future;
+            }
+            queue.add(new PendingWrite(operation, future));
+        }
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+        return future;
+    }
+
+    private void run() { /// Единственный писатель: собирает пачку и коммитит её одной транзакцией
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        long reconnectDelay = RECONNECT_MIN_DELAY_MILLIS;
+        try {
+            while (running || !queue.isEmpty()) {
+                try (Connection connection = DriverManager.getConnection(dbUrl)) {
+                    connection.setAutoCommit(false);
+                    reconnectDelay = RECONNECT_MIN_DELAY_MILLIS;
+                    processQueue(connection, batch);
+                } catch (SQLException e) {
+                    /// Соединение потеряно или не открылось: текущая пачка завершается ошибкой, остальная очередь ждёт переподключения
+                    logger.error("Ошибка соединения для групповой записи, повтор через " + reconnectDelay + " мс: " + e.getMessage(), e);
+                    failAll(batch, e);
+                    batch.clear();
+                    if (!running) {
+                        break;
+                    }
+                    Thread.sleep(reconnectDelay);
+                    reconnectDelay = Math.min(reconnectDelay * 2, RECONNECT_MAX_DELAY_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stopAndFailPending();
+            failAll(batch, new IllegalStateException("Запись в БД остановлена."));
+        }
+    }
+
+    private void processQueue(Connection connection, List<PendingWrite> batch) throws SQLException, InterruptedException { /// Цикл пачек на одном соединении
+        while (running || !queue.isEmpty()) {
+            PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+            while (batch.size() < maxBatchSize) {
+                long remaining = deadline - System.nanoTime();
+                PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+            try {
+                writeBatch(connection, batch);
+            } catch (RuntimeException e) {
+                logger.error("Непредвиденная ошибка при групповой записи: " + e.getMessage(), e);
+                rollbackQuietly(connection);
+                failAll(batch, e);
+            }
+            batch.clear();
+            logMetrics();
+        }
+    }
+
+    /// Каждая операция под своим savepoint, чтобы ошибка одной не откатывала остальные.
+    /// Ошибка savepoint или коммита считается ошибкой соединения и пробрасывается для переподключения.
+    private void writeBatch(Connection connection, List<PendingWrite> batch) throws SQLException {
+        List<Integer> results = new ArrayList<>(batch.size());
+        int succeeded = 0;
+        try {
+            for (PendingWrite write : batch) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    results.add(write.operation.apply(connection));
+                    connection.releaseSavepoint(savepoint);
+                    succeeded++;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback(savepoint);
+                    connection.releaseSavepoint(savepoint);
+                    results.add(null);
+                    write.future.completeExceptionally(e);
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            rollbackQuietly(connection);
+            throw e;
+        }
+        if (succeeded > 0) {
+            lastBatchSize = succeeded;
+            committedBatches.incrementAndGet();
+            committedWrites.addAndGet(succeeded);
+        }
+        logger.debug("Закоммичена пачка записей: " + succeeded + " из " + batch.size() + ", в очереди: " + queue.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Integer result = results.get(i);
+            if (result != null) {
+                batch.get(i).future.complete(result);
+            }
+        }
+    }
+
+    private void logMetrics() { /// Метрики раз в METRICS_LOG_EVERY_COMMITS коммитов и при накоплении очереди больше пачки
+        int depth = getQueueDepth();
+        boolean backlog = depth >= maxBatchSize;
+        boolean periodic = getCommittedBatches() - commitsAtLastMetricsLog >= METRICS_LOG_EVERY_COMMITS;
+        if ((backlog && !backlogReported) || periodic) {
+            commitsAtLastMetricsLog = getCommittedBatches();
+            logger.info("Групповая запись: коммитов " + getCommittedBatches() + ", последняя пачка " + getLastBatchSize()
+                    + ", средняя пачка " + String.format("%.1f", getAverageBatchSize()) + ", очередь " + depth + ", максимальная очередь " + getMaxQueueDepth());
+        }
+        backlogReported = backlog;
+    }
+
+    private void rollbackQuietly(Connection connection) { /// Откат транзакции без проброса ошибки
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackError) {
+            logger.error("Ошибка при откате групповой записи: " + rollbackError.getMessage(), rollbackError);
+        }
+    }
+
+    private void failAll(List<PendingWrite> writes, Throwable cause) { /// Уже завершённые future не меняются
+        for (PendingWrite write : writes) {
+            write.future.completeExceptionally(cause);
+        }
+    }
+
+    private void stopAndFailPending() { /// После этого submit не ставит записи в очередь, оставшиеся завершаются ошибкой
+        synchronized (lifecycleLock) {
+            running = false;
+        }
+        PendingWrite rest;
+        while ((rest = queue.poll()) != null) {
+            rest.future.completeExceptionally(new IllegalStateException("Запись в БД остановлена."));
+        }
+    }
+
+    public static int await(CompletableFuture<Integer> future) throws SQLException { /// Дождаться коммита записи
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Ожидание записи в БД прервано.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException(e.getCause());
+        }
+    }
+
+    public int getQueueDepth() { /// Текущая длина очереди
+        return queue.size();
+    }
+
+    public int getMaxQueueDepth() { /// Максимальная длина очереди с момента запуска
+        return maxQueueDepth.get();
+    }
+
+    public int getLastBatchSize() { /// Количество успешных записей в последней закоммиченной пачке
+        return lastBatchSize;
+    }
+
+    public double getAverageBatchSize() { /// Среднее количество успешных записей на коммит
+        long batches = committedBatches.get();
+        return batches == 0 ? 0 : (double) committedWrites.get() / batches;
+    }
+
+    public long getCommittedBatches() { /// Количество коммитов
+        return committedBatches.get();
+    }
+
+    @Override
+    public void close() { /// Дописать очередь и остановить писателя
+        synchronized (lifecycleLock) {
+            running = false;
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stopAndFailPending();
+        logger.info("Групповая запись остановлена. Коммитов: " + committedBatches.get() + ", средний размер пачки: " + getAverageBatchSize() + ", максимальная очередь: " + maxQueueDepth.get());
+    }
+
+    public interface WriteOperation { /// Операция записи, выполняется внутри общей транзакции
+        int apply(Connection connection) throws SQLException;
+    }
+
+    private static class PendingWrite {
+        final WriteOperation operation;
+        final CompletableFuture<Integer> future;
+
+        PendingWrite(WriteOperation operation, CompletableFuture<Integer> future) {
+            this.operation = operation;
+            this.future = future;
+        }
+    }
+}
@@ -136,6 +136,7 @@ public class UserManager {
                         "max_clicks INTEGER," +
                         "clicks INTEGER DEFAULT 0)";
                 try (Statement statement = connection.createStatement()) {
+                    statement.execute("PRAGMA journal_mode=WAL"); /// Чтение ссылок не ждёт массовых изменений
                     statement.execute(createUsersTableSQL);
                     statement.execute(createLinksTableSQL);
                     logger.info("База данных и таблицы успешно созданы.");